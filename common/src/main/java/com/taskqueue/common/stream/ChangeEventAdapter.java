@@ -0,0 +1,30 @@
+package com.taskqueue.common.stream;
+
+/**
+ * Describes how a service's change event type is conflated and streamed.
+ * <p>
+ * Update events must carry the full state of the changed entity, so an update folded into
+ * a pending create can simply be turned into a create.
+ */
+public interface ChangeEventAdapter<E> {
+
+    Object key(E event);
+
+    long version(E event);
+
+    Kind kind(E event);
+
+    String name(E event);
+
+    E asCreated(E update);
+
+    E resync(String topic);
+
+    enum Kind {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESYNC
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.taskqueue.common.stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Per-subscriber buffer that keeps only the latest pending state per key.
+ * <p>
+ * {@link #offer} only merges the event into a bounded map and returns: delivery runs on a
+ * scheduler worker, or on the requesting thread, whenever the subscriber has demand, so
+ * writers never execute downstream work. When the map is full of distinct keys, pending
+ * events are discarded and the subscriber receives a final resync event before the stream
+ * completes; {@link #resync} ends the stream the same way after delivering what is pending.
+ */
+public final class ConflatingBuffer<E> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflatingBuffer.class);
+
+    private final String topic;
+    private final FluxSink<E> sink;
+    private final int bufferSize;
+    private final ChangeEventAdapter<E> adapter;
+    private final Scheduler scheduler = Schedulers.parallel();
+    private final LinkedHashMap<Object, E> pending = new LinkedHashMap<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean resyncRequired;
+
+    private ConflatingBuffer(String topic, FluxSink<E> sink, int bufferSize, ChangeEventAdapter<E> adapter) {
+        this.topic = topic;
+        this.sink = sink;
+        this.bufferSize = bufferSize;
+        this.adapter = adapter;
+    }
+
+    /**
+     * Creates a stream backed by its own buffer. {@code attach} runs on subscription, wires
+     * the buffer to its event source and returns what has to be released when the stream ends.
+     */
+    public static <E> Flux<E> create(String topic, int bufferSize, ChangeEventAdapter<E> adapter,
+                                     Function<ConflatingBuffer<E>, Disposable> attach) {
+        return Flux.create(sink -> {
+            ConflatingBuffer<E> buffer = new ConflatingBuffer<>(topic, sink, bufferSize, adapter);
+            Disposable attachment = attach.apply(buffer);
+            sink.onRequest(n -> buffer.drain());
+            sink.onDispose(attachment);
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    public void offer(E event) {
+        if (adapter.kind(event) == ChangeEventAdapter.Kind.RESYNC) {
+            resync();
+            return;
+        }
+        boolean overflowed = false;
+        synchronized (pending) {
+            if (resyncRequired) {
+                return;
+            }
+            Object key = adapter.key(event);
+            E existing = pending.get(key);
+            if (existing != null) {
+                E merged = merge(existing, event);
+                if (merged == null) {
+                    pending.remove(key);
+                } else {
+                    pending.put(key, merged);
+                }
+            } else if (pending.size() >= bufferSize) {
+                pending.clear();
+                resyncRequired = true;
+                overflowed = true;
+            } else {
+                pending.put(key, event);
+            }
+        }
+        if (overflowed) {
+            logger.warn("Change event buffer overflow for {}, requesting resync", topic);
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Ends the stream: events already pending are still delivered, followed by the resync event.
+     */
+    public void resync() {
+        synchronized (pending) {
+            resyncRequired = true;
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (wip.getAndIncrement() == 0) {
+            scheduler.schedule(this::drainLoop);
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            boolean drained = false;
+            while (sink.requestedFromDownstream() > 0 && !sink.isCancelled()) {
+                E next = poll();
+                if (next == null) {
+                    drained = true;
+                    break;
+                }
+                sink.next(next);
+            }
+            if (drained && resyncRequired) {
+                sink.next(adapter.resync(topic));
+                sink.complete();
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private E poll() {
+        synchronized (pending) {
+            Iterator<E> iterator = pending.values().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            E next = iterator.next();
+            iterator.remove();
+            return next;
+        }
+    }
+
+    /**
+     * Folds a newer event into the one still pending for the same key.
+     * Returns {@code null} when the two cancel out and nothing needs to be delivered.
+     */
+    private E merge(E current, E next) {
+        if (adapter.version(next) < adapter.version(current)) {
+            return current;
+        }
+        if (adapter.kind(current) != ChangeEventAdapter.Kind.CREATED) {
+            return next;
+        }
+        switch (adapter.kind(next)) {
+            case DELETED:
+                return null;
+            case UPDATED:
+                return adapter.asCreated(next);
+            default:
+                return next;
+        }
+    }
+
+}
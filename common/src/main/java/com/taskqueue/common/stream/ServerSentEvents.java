@@ -0,0 +1,40 @@
+package com.taskqueue.common.stream;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+public final class ServerSentEvents {
+
+    private ServerSentEvents() {
+    }
+
+    /**
+     * Wraps change events as named SSE events interleaved with heartbeat comments. The first
+     * heartbeat is sent right away so the response is committed before any change happens.
+     * The stream completes after a resync event, which carries {@code reconnectDelay} as the
+     * SSE {@code retry} hint so clients back off before subscribing again.
+     */
+    public static <E> Flux<ServerSentEvent<E>> stream(Flux<E> events, ChangeEventAdapter<E> adapter,
+                                                      Duration heartbeatInterval, Duration reconnectDelay) {
+        Flux<ServerSentEvent<E>> changes = events.map(event -> {
+            ServerSentEvent.Builder<E> builder = ServerSentEvent.builder(event)
+                    .event(adapter.name(event));
+            if (adapter.kind(event) == ChangeEventAdapter.Kind.RESYNC) {
+                builder.retry(reconnectDelay);
+            }
+            return builder.build();
+        });
+        Flux<ServerSentEvent<E>> heartbeats = Flux.interval(Duration.ZERO, heartbeatInterval)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<E>builder()
+                        .comment("heartbeat")
+                        .build());
+        // Prefetch of 1 keeps undelivered events in the conflating buffer instead of a FIFO queue
+        return Flux.merge(1, changes, heartbeats)
+                .takeUntil(sse -> sse.data() != null
+                        && adapter.kind(sse.data()) == ChangeEventAdapter.Kind.RESYNC);
+    }
+
+}
@@ -1,10 +1,16 @@
 package com.taskqueue.servicea.client;
 
 import com.taskqueue.servicea.model.Task;
+import com.taskqueue.servicea.model.TaskEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -16,10 +22,14 @@ import java.time.Duration;
 public class TaskClient {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskClient.class);
+    private static final ParameterizedTypeReference<ServerSentEvent<TaskEvent>> TASK_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
     private final WebClient webClient;
+    private final WebClient streamingWebClient;
 
-    public TaskClient(WebClient webClient) {
+    public TaskClient(WebClient webClient, @Qualifier("streamingWebClient") WebClient streamingWebClient) {
         this.webClient = webClient;
+        this.streamingWebClient = streamingWebClient;
     }
 
     public Flux<Task> getUserTasks(String userId) {
@@ -49,6 +59,33 @@ public class TaskClient {
                 });
     }
 
+    public Flux<TaskEvent> streamUserTaskEvents(String userId) {
+        logger.info("[Service A] Subscribing to task events for user: {}", userId);
+
+        return streamingWebClient.get()
+                .uri("/api/tasks/{userId}/events", userId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(TASK_EVENT_TYPE)
+                .mapNotNull(ServerSentEvent::data)
+                // Only failures before a response arrived are retried, so no event can be lost
+                .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(10))
+                        .filter(WebClientRequestException.class::isInstance)
+                        .doBeforeRetry(retrySignal -> 
+                            logger.warn("[Service A] Retrying task event stream for user {}, attempt: {}", 
+                                userId, retrySignal.totalRetries() + 1))
+                )
+                .doOnError(WebClientResponseException.class, ex -> 
+                    logger.error("[Service A] HTTP error on task events: {} - {}", 
+                        ex.getStatusCode(), ex.getResponseBodyAsString())
+                )
+                .doOnError(Exception.class, ex -> 
+                    logger.error("[Service A] Task event stream failed for user {}: {}", 
+                        userId, ex.getMessage())
+                );
+    }
+
     public Mono<String> checkServiceHealth() {
         return webClient.get()
                 .uri("/api/tasks/health")
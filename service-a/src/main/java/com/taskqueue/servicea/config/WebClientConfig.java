@@ -8,11 +8,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -25,7 +27,11 @@ public class WebClientConfig {
     @Value("${service-b.url:http://localhost:8080}")
     private String serviceBUrl;
 
+    @Value("${service-b.stream-max-connections:1000}")
+    private int streamMaxConnections;
+
     @Bean
+    @Primary
     public WebClient webClient() {
         HttpClient httpClient = HttpClient.create()
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
@@ -42,6 +48,26 @@ public class WebClientConfig {
                 .build();
     }
 
+    @Bean
+    public WebClient streamingWebClient() {
+        // Event streams hold a connection for as long as they are open, so they get their own pool
+        // and cannot starve regular request/response calls. Idle streams are kept alive by heartbeats.
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("task-event-streams")
+                .maxConnections(streamMaxConnections)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
+                .doOnConnected(conn ->
+                        conn.addHandlerLast(new ReadTimeoutHandler(45, TimeUnit.SECONDS)));
+
+        return WebClient.builder()
+                .baseUrl(serviceBUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(logRequest())
+                .filter(logResponse())
+                .build();
+    }
+
     private ExchangeFilterFunction logRequest() {
         return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
             logger.info("[Service A] Outgoing request: {} {}", 
@@ -1,13 +1,20 @@
 package com.taskqueue.servicea.controller;
 
+import com.taskqueue.common.stream.ServerSentEvents;
 import com.taskqueue.servicea.client.TaskClient;
 import com.taskqueue.servicea.model.Task;
+import com.taskqueue.servicea.model.TaskEvent;
+import com.taskqueue.servicea.service.TaskEventAdapter;
+import com.taskqueue.servicea.service.TaskEventRelay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -15,10 +22,15 @@ import java.util.List;
 public class TaskProxyController {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskProxyController.class);
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
     private final TaskClient taskClient;
+    private final TaskEventRelay taskEventRelay;
 
-    public TaskProxyController(TaskClient taskClient) {
+    public TaskProxyController(TaskClient taskClient, TaskEventRelay taskEventRelay) {
         this.taskClient = taskClient;
+        this.taskEventRelay = taskEventRelay;
     }
 
     @GetMapping("/user/{userId}/tasks")
@@ -60,6 +72,15 @@ public class TaskProxyController {
                     logger.debug("[Service A Controller] High priority task: {}", task.getTitle()));
     }
 
+    @GetMapping(value = "/user/{userId}/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskEvent>> streamUserTaskEvents(@PathVariable String userId) {
+        logger.info("[Service A Controller] Relaying task events for user: {}", userId);
+        return ServerSentEvents.stream(taskEventRelay.subscribe(userId), TaskEventAdapter.INSTANCE,
+                        HEARTBEAT_INTERVAL, RECONNECT_DELAY)
+                .doOnCancel(() -> 
+                    logger.info("[Service A Controller] Client left task event stream for user: {}", userId));
+    }
+
     @GetMapping("/health")
     public Mono<String> health() {
         return taskClient.checkServiceHealth()
@@ -0,0 +1,79 @@
+package com.taskqueue.servicea.service;
+
+import com.taskqueue.common.stream.ConflatingBuffer;
+import com.taskqueue.servicea.client.TaskClient;
+import com.taskqueue.servicea.model.TaskEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Relays Service B task change events to Service A clients.
+ * <p>
+ * All clients of one user share a single upstream stream, so the number of connections to
+ * Service B grows with active users rather than with clients. Every client gets its own
+ * {@link ConflatingBuffer}. When the buffer overflows or the upstream stream ends, the client
+ * receives a final {@code RESYNC} event and has to reload the task list and subscribe again.
+ */
+@Service
+public class TaskEventRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventRelay.class);
+
+    private final TaskClient taskClient;
+    private final int bufferSize;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public TaskEventRelay(TaskClient taskClient, @Value("${task-events.buffer-size:256}") int bufferSize) {
+        this.taskClient = taskClient;
+        this.bufferSize = bufferSize;
+    }
+
+    public Flux<TaskEvent> subscribe(String userId) {
+        // The upstream is looked up on subscription, so reconnecting clients never pick up a finished one
+        return ConflatingBuffer.create(userId, bufferSize, TaskEventAdapter.INSTANCE, buffer ->
+                acquireUpstream(userId).subscribe(buffer::offer, error -> buffer.resync(), buffer::resync));
+    }
+
+    public int getUpstreamCount() {
+        return upstreams.size();
+    }
+
+    private Flux<TaskEvent> acquireUpstream(String userId) {
+        return upstreams.compute(userId, (key, existing) ->
+                existing != null && !existing.released ? existing : new Upstream(key)).events;
+    }
+
+    private final class Upstream {
+
+        private final AtomicBoolean connected = new AtomicBoolean();
+        private final Flux<TaskEvent> events;
+        private volatile boolean released;
+
+        Upstream(String userId) {
+            // Connects at most once: a late subscriber to a finished stream completes instead of
+            // opening a connection that the map does not track
+            this.events = Flux.defer(() -> connected.compareAndSet(false, true)
+                            ? taskClient.streamUserTaskEvents(userId)
+                            : Flux.<TaskEvent>empty())
+                    .doOnTerminate(() -> release(userId))
+                    .doOnCancel(() -> release(userId))
+                    .share();
+        }
+
+        private void release(String userId) {
+            released = true;
+            if (upstreams.remove(userId, this)) {
+                logger.info("[Service A] Released upstream task event stream for user {}", userId);
+            }
+        }
+
+    }
+
+}
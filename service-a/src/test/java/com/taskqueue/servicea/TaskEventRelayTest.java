@@ -0,0 +1,161 @@
+package com.taskqueue.servicea;
+
+import com.taskqueue.servicea.client.TaskClient;
+import com.taskqueue.servicea.model.Task;
+import com.taskqueue.servicea.model.TaskEvent;
+import com.taskqueue.servicea.service.TaskEventRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventRelayTest {
+
+    private final StubTaskClient taskClient = new StubTaskClient();
+
+    @Test
+    void subscribe_ConflatesSlowClientWhileFastClientSeesEveryEvent() {
+        TaskEventRelay relay = new TaskEventRelay(taskClient, 16);
+        List<TaskEvent> fastEvents = new CopyOnWriteArrayList<>();
+        Disposable fastClient = relay.subscribe("user1").subscribe(fastEvents::add);
+
+        StepVerifier.create(relay.subscribe("user1"), 0)
+                .then(() -> {
+                    emitAndAwait(created(1L, 1), () -> fastEvents.size() == 1);
+                    emitAndAwait(statusChanged(1L, Task.TaskStatus.IN_PROGRESS, 2), () -> fastEvents.size() == 2);
+                    emitAndAwait(statusChanged(1L, Task.TaskStatus.COMPLETED, 3), () -> fastEvents.size() == 3);
+                    emitAndAwait(created(2L, 4), () -> fastEvents.size() == 4);
+                })
+                .thenRequest(10)
+                .expectNextMatches(event -> event.getType() == TaskEvent.EventType.CREATED
+                    && event.getTaskId() == 1L
+                    && event.getTask().getStatus() == Task.TaskStatus.COMPLETED)
+                .expectNextMatches(event -> event.getTaskId() == 2L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(4, fastEvents.size());
+        assertEquals(1, taskClient.connections.get());
+        fastClient.dispose();
+    }
+
+    @Test
+    void subscribe_DropsTaskCreatedAndDeletedWhilePending() {
+        TaskEventRelay relay = new TaskEventRelay(taskClient, 16);
+
+        StepVerifier.create(relay.subscribe("user1"), 0)
+                .then(() -> {
+                    taskClient.upstream.tryEmitNext(created(1L, 1));
+                    taskClient.upstream.tryEmitNext(created(2L, 2));
+                    taskClient.upstream.tryEmitNext(new TaskEvent(TaskEvent.EventType.DELETED, 1L, "user1",
+                            null, null, LocalDateTime.now(), 3));
+                })
+                .thenRequest(10)
+                .expectNextMatches(event -> event.getTaskId() == 2L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void subscribe_SendsResyncOnOverflow() {
+        TaskEventRelay relay = new TaskEventRelay(taskClient, 2);
+
+        StepVerifier.create(relay.subscribe("user1"), 0)
+                .then(() -> {
+                    taskClient.upstream.tryEmitNext(created(1L, 1));
+                    taskClient.upstream.tryEmitNext(created(2L, 2));
+                    taskClient.upstream.tryEmitNext(created(3L, 3));
+                })
+                .thenRequest(10)
+                .expectNextMatches(event -> event.getType() == TaskEvent.EventType.RESYNC
+                    && event.getUserId().equals("user1"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void subscribe_ReleasesUpstreamWhenLastClientLeaves() {
+        TaskEventRelay relay = new TaskEventRelay(taskClient, 16);
+
+        Disposable first = relay.subscribe("user1").subscribe();
+        Disposable second = relay.subscribe("user1").subscribe();
+        assertEquals(1, taskClient.connections.get());
+        assertEquals(1, relay.getUpstreamCount());
+
+        first.dispose();
+        assertEquals(1, relay.getUpstreamCount());
+        assertEquals(1, taskClient.upstream.currentSubscriberCount());
+
+        second.dispose();
+        assertEquals(0, relay.getUpstreamCount());
+        assertEquals(0, taskClient.upstream.currentSubscriberCount());
+
+        Disposable third = relay.subscribe("user1").subscribe();
+        assertEquals(2, taskClient.connections.get());
+        assertEquals(1, relay.getUpstreamCount());
+        third.dispose();
+    }
+
+    private void emitAndAwait(TaskEvent event, BooleanSupplier delivered) {
+        taskClient.upstream.tryEmitNext(event);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!delivered.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Event was not delivered to the fast client");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private TaskEvent created(Long taskId, long version) {
+        return new TaskEvent(TaskEvent.EventType.CREATED, taskId, "user1", Task.TaskStatus.PENDING,
+                task(taskId, Task.TaskStatus.PENDING), LocalDateTime.now(), version);
+    }
+
+    private TaskEvent statusChanged(Long taskId, Task.TaskStatus status, long version) {
+        return new TaskEvent(TaskEvent.EventType.STATUS_CHANGED, taskId, "user1", status,
+                task(taskId, status), LocalDateTime.now(), version);
+    }
+
+    private Task task(Long taskId, Task.TaskStatus status) {
+        Task task = new Task();
+        task.setId(taskId);
+        task.setUserId("user1");
+        task.setTitle("Task " + taskId);
+        task.setStatus(status);
+        return task;
+    }
+
+    private static class StubTaskClient extends TaskClient {
+
+        private final AtomicInteger connections = new AtomicInteger();
+        private final Sinks.Many<TaskEvent> upstream = Sinks.many().multicast().directBestEffort();
+
+        StubTaskClient() {
+            super(WebClient.create(), WebClient.create());
+        }
+
+        @Override
+        public Flux<TaskEvent> streamUserTaskEvents(String userId) {
+            return Flux.defer(() -> {
+                connections.incrementAndGet();
+                return upstream.asFlux();
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.taskqueue.servicea;
+
+import com.taskqueue.servicea.model.Task;
+import com.taskqueue.servicea.model.TaskEvent;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskProxyControllerTest {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<TaskEvent>> TASK_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final AtomicInteger upstreamConnections = new AtomicInteger();
+    private static final Sinks.Many<String> upstreamEvents = Sinks.many().multicast().directBestEffort();
+
+    // Stands in for Service B's event stream endpoint
+    private static final DisposableServer serviceB = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.get("/api/tasks/{userId}/events", (request, response) -> {
+                upstreamConnections.incrementAndGet();
+                return response.header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                        .sendString(Flux.concat(Flux.just(":heartbeat\n\n"), upstreamEvents.asFlux()));
+            }))
+            .bindNow();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void serviceBProperties(DynamicPropertyRegistry registry) {
+        registry.add("service-b.url", () -> "http://localhost:" + serviceB.port());
+    }
+
+    @AfterAll
+    static void stopServiceB() {
+        serviceB.disposeNow();
+    }
+
+    @Test
+    void streamUserTaskEvents_SharesUpstreamAndRelaysEvents() throws InterruptedException {
+        Flux<ServerSentEvent<TaskEvent>> first = openStream("user1");
+        awaitUpstreamSubscribers(1);
+        Flux<ServerSentEvent<TaskEvent>> second = openStream("user1");
+
+        assertEquals(1, upstreamConnections.get());
+
+        upstreamEvents.tryEmitNext("event:CREATED\ndata:{\"type\":\"CREATED\",\"taskId\":100000,"
+                + "\"userId\":\"user1\",\"status\":\"PENDING\",\"task\":{\"id\":100000,"
+                + "\"userId\":\"user1\",\"title\":\"New task\",\"status\":\"PENDING\"}}\n\n");
+        upstreamEvents.tryEmitComplete();
+
+        for (Flux<ServerSentEvent<TaskEvent>> stream : List.of(first, second)) {
+            StepVerifier.create(stream)
+                    .expectNextMatches(sse -> sse.comment() != null && sse.comment().contains("heartbeat"))
+                    .expectNextMatches(sse -> "CREATED".equals(sse.event())
+                        && sse.data().getTask().getTitle().equals("New task")
+                        && sse.data().getStatus() == Task.TaskStatus.PENDING)
+                    .expectNextMatches(sse -> "RESYNC".equals(sse.event()))
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(10));
+        }
+        assertEquals(1, upstreamConnections.get());
+    }
+
+    private Flux<ServerSentEvent<TaskEvent>> openStream(String userId) {
+        return webTestClient.get()
+                .uri("/api/user/{userId}/tasks/events", userId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TASK_EVENT_TYPE)
+                .getResponseBody();
+    }
+
+    private void awaitUpstreamSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (upstreamEvents.currentSubscriberCount() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Service A did not subscribe to the upstream event stream");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+}
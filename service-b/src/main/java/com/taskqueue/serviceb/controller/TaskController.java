@@ -1,14 +1,26 @@
 package com.taskqueue.serviceb.controller;
 
+import com.taskqueue.common.stream.ServerSentEvents;
 import com.taskqueue.serviceb.model.Task;
+import com.taskqueue.serviceb.model.TaskEvent;
+import com.taskqueue.serviceb.service.TaskEventAdapter;
 import com.taskqueue.serviceb.service.TaskService;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    // Must stay below the read timeout of Service A's streaming WebClient so idle streams survive
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
     private final TaskService taskService;
 
     public TaskController(TaskService taskService) {
@@ -20,6 +32,29 @@ public class TaskController {
         return taskService.getUserTasks(userId);
     }
 
+    @GetMapping(value = "/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TaskEvent>> streamUserTaskEvents(@PathVariable String userId) {
+        return ServerSentEvents.stream(taskService.getUserTaskEvents(userId), TaskEventAdapter.INSTANCE,
+                HEARTBEAT_INTERVAL, RECONNECT_DELAY);
+    }
+
+    @PostMapping
+    public Mono<Task> createTask(@RequestBody Task task) {
+        return taskService.createTask(task);
+    }
+
+    @PatchMapping("/{userId}/{taskId}/status")
+    public Mono<Task> updateTaskStatus(@PathVariable String userId,
+                                      @PathVariable Long taskId,
+                                      @RequestParam Task.TaskStatus status) {
+        return taskService.updateTaskStatus(userId, taskId, status);
+    }
+
+    @DeleteMapping("/{userId}/{taskId}")
+    public Mono<Task> deleteTask(@PathVariable String userId, @PathVariable Long taskId) {
+        return taskService.deleteTask(userId, taskId);
+    }
+
     @GetMapping("/health")
     public String health() {
         return "Service B is running";
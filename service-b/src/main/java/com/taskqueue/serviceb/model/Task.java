@@ -3,6 +3,7 @@ package com.taskqueue.serviceb.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 import java.time.LocalDateTime;
 
@@ -15,6 +16,7 @@ public class Task {
     private String userId;
     private String title;
     private String description;
+    @With
     private TaskStatus status;
     private TaskPriority priority;
     private LocalDateTime createdAt;
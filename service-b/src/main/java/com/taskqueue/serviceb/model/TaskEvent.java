@@ -0,0 +1,29 @@
+package com.taskqueue.serviceb.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEvent {
+
+    private EventType type;
+    private Long taskId;
+    private String userId;
+    private Task.TaskStatus status;
+    private Task task;
+    private LocalDateTime timestamp;
+    private long version;
+
+    public enum EventType {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED,
+        RESYNC
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.taskqueue.serviceb.service;
+
+import com.taskqueue.common.stream.ChangeEventAdapter;
+import com.taskqueue.serviceb.model.TaskEvent;
+
+import java.time.LocalDateTime;
+
+public final class TaskEventAdapter implements ChangeEventAdapter<TaskEvent> {
+
+    public static final TaskEventAdapter INSTANCE = new TaskEventAdapter();
+
+    private TaskEventAdapter() {
+    }
+
+    @Override
+    public Object key(TaskEvent event) {
+        return event.getTaskId();
+    }
+
+    @Override
+    public long version(TaskEvent event) {
+        return event.getVersion();
+    }
+
+    @Override
+    public Kind kind(TaskEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                return Kind.CREATED;
+            case STATUS_CHANGED:
+                return Kind.UPDATED;
+            case DELETED:
+                return Kind.DELETED;
+            default:
+                return Kind.RESYNC;
+        }
+    }
+
+    @Override
+    public String name(TaskEvent event) {
+        return event.getType().name();
+    }
+
+    @Override
+    public TaskEvent asCreated(TaskEvent update) {
+        return new TaskEvent(TaskEvent.EventType.CREATED, update.getTaskId(), update.getUserId(),
+                update.getStatus(), update.getTask(), update.getTimestamp(), update.getVersion());
+    }
+
+    @Override
+    public TaskEvent resync(String userId) {
+        return new TaskEvent(TaskEvent.EventType.RESYNC, null, userId, null, null, LocalDateTime.now(), 0);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.taskqueue.serviceb.service;
+
+import com.taskqueue.common.stream.ConflatingBuffer;
+import com.taskqueue.serviceb.model.TaskEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fans task change events out to per-user subscribers.
+ * <p>
+ * Every subscriber gets its own {@link ConflatingBuffer}, so a slow consumer only ever sees
+ * the latest pending state per task and publishing never waits for delivery. A subscriber
+ * whose buffer overflows receives a final {@code RESYNC} event and has to reload the task
+ * list and subscribe again.
+ */
+@Service
+public class TaskEventPublisher {
+
+    private final Map<String, Set<ConflatingBuffer<TaskEvent>>> subscribers = new ConcurrentHashMap<>();
+    private final int bufferSize;
+
+    public TaskEventPublisher(@Value("${task-events.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Flux<TaskEvent> subscribe(String userId) {
+        return ConflatingBuffer.create(userId, bufferSize, TaskEventAdapter.INSTANCE, buffer -> {
+            subscribers.compute(userId, (key, userSubscribers) -> {
+                Set<ConflatingBuffer<TaskEvent>> result = userSubscribers != null
+                        ? userSubscribers
+                        : ConcurrentHashMap.newKeySet();
+                result.add(buffer);
+                return result;
+            });
+            return () -> unsubscribe(userId, buffer);
+        });
+    }
+
+    public void publish(TaskEvent event) {
+        Set<ConflatingBuffer<TaskEvent>> userSubscribers = subscribers.get(event.getUserId());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (ConflatingBuffer<TaskEvent> subscriber : userSubscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    public int getSubscriberCount(String userId) {
+        Set<ConflatingBuffer<TaskEvent>> userSubscribers = subscribers.get(userId);
+        return userSubscribers == null ? 0 : userSubscribers.size();
+    }
+
+    private void unsubscribe(String userId, ConflatingBuffer<TaskEvent> subscriber) {
+        subscribers.computeIfPresent(userId, (key, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+}
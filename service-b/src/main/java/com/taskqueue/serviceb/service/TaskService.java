@@ -1,12 +1,18 @@
 package com.taskqueue.serviceb.service;
 
 import com.taskqueue.serviceb.model.Task;
+import com.taskqueue.serviceb.model.TaskEvent;
 import com.taskqueue.serviceb.model.TaskWrapper;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,6 +21,21 @@ public class TaskService {
     private static final int TASK_COUNT = 100_000;
     private static final String[] CATEGORIES = {"Development", "Testing", "Design", "Documentation", "Review"};
     private static final String[] USERS = {"user1", "user2", "user3", "user4", "user5"};
+    private static final int LOCK_STRIPES = 64;
+
+    private final TaskEventPublisher taskEventPublisher;
+    private final AtomicLong nextTaskId = new AtomicLong(TASK_COUNT);
+    private final AtomicLong eventVersion = new AtomicLong();
+    // Only tasks created through the API can change, the generated list is rebuilt per request
+    private final Map<Long, Task> createdTasks = new ConcurrentHashMap<>();
+    private final Object[] taskLocks = new Object[LOCK_STRIPES];
+
+    public TaskService(TaskEventPublisher taskEventPublisher) {
+        this.taskEventPublisher = taskEventPublisher;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            taskLocks[i] = new Object();
+        }
+    }
 
     public Flux<Task> getUserTasks(String userId) {
         List<Task> generatedTasks = generateTasks();
@@ -35,9 +56,87 @@ public class TaskService {
 
         List<Task> finalTasks = unwrapTasks(grouped);
 
+        finalTasks.addAll(getCreatedTasks(userId));
+
         return Flux.fromIterable(finalTasks);
     }
 
+    public Mono<Task> createTask(Task task) {
+        if (task.getUserId() == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId is required"));
+        }
+        task.setId(nextTaskId.getAndIncrement());
+        if (task.getStatus() == null) {
+            task.setStatus(Task.TaskStatus.PENDING);
+        }
+        if (task.getCreatedAt() == null) {
+            task.setCreatedAt(LocalDateTime.now());
+        }
+
+        synchronized (lockFor(task.getId())) {
+            createdTasks.put(task.getId(), task);
+            publish(TaskEvent.EventType.CREATED, task.getUserId(), task.getId(), task);
+        }
+        return Mono.just(task);
+    }
+
+    public Mono<Task> updateTaskStatus(String userId, Long taskId, Task.TaskStatus status) {
+        synchronized (lockFor(taskId)) {
+            Task current = findOwnedTask(userId, taskId);
+            if (current == null) {
+                return Mono.error(taskNotFound(taskId));
+            }
+            Task updated = current.withStatus(status);
+            createdTasks.put(taskId, updated);
+            publish(TaskEvent.EventType.STATUS_CHANGED, userId, taskId, updated);
+            return Mono.just(updated);
+        }
+    }
+
+    public Mono<Task> deleteTask(String userId, Long taskId) {
+        synchronized (lockFor(taskId)) {
+            Task removed = findOwnedTask(userId, taskId);
+            if (removed == null) {
+                return Mono.error(taskNotFound(taskId));
+            }
+            createdTasks.remove(taskId);
+            publish(TaskEvent.EventType.DELETED, userId, taskId, null);
+            return Mono.just(removed);
+        }
+    }
+
+    public Flux<TaskEvent> getUserTaskEvents(String userId) {
+        return taskEventPublisher.subscribe(userId);
+    }
+
+    // Callers hold the task's lock, so versions and publish order follow the order of changes.
+    // Publishing only hands the event to subscriber buffers, delivery happens elsewhere.
+    private void publish(TaskEvent.EventType type, String userId, Long taskId, Task task) {
+        taskEventPublisher.publish(new TaskEvent(type, taskId, userId,
+                task != null ? task.getStatus() : null, task, LocalDateTime.now(),
+                eventVersion.incrementAndGet()));
+    }
+
+    private Object lockFor(Long taskId) {
+        return taskLocks[Math.floorMod(taskId, LOCK_STRIPES)];
+    }
+
+    private List<Task> getCreatedTasks(String userId) {
+        return createdTasks.values().stream()
+                .filter(task -> task.getUserId().equals(userId))
+                .sorted(Comparator.comparing(Task::getId))
+                .collect(Collectors.toList());
+    }
+
+    private Task findOwnedTask(String userId, Long taskId) {
+        Task task = createdTasks.get(taskId);
+        return task != null && task.getUserId().equals(userId) ? task : null;
+    }
+
+    private ResponseStatusException taskNotFound(Long taskId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Task " + taskId + " not found");
+    }
+
     private List<Task> generateTasks() {
         List<Task> tasks = new ArrayList<>(TASK_COUNT);
         Random random = new Random();
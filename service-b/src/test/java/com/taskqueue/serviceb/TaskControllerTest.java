@@ -0,0 +1,143 @@
+package com.taskqueue.serviceb;
+
+import com.taskqueue.serviceb.controller.TaskController;
+import com.taskqueue.serviceb.model.Task;
+import com.taskqueue.serviceb.model.TaskEvent;
+import com.taskqueue.serviceb.service.TaskEventPublisher;
+import com.taskqueue.serviceb.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskControllerTest {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<TaskEvent>> TASK_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void streamUserTaskEvents_SendsNamedEventsAndHeartbeats() {
+        Flux<ServerSentEvent<TaskEvent>> events = webTestClient.get()
+                .uri("/api/tasks/{userId}/events", "stream-user")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TASK_EVENT_TYPE)
+                .getResponseBody();
+        AtomicReference<Task> created = new AtomicReference<>();
+
+        StepVerifier.create(events)
+                .expectNextMatches(sse -> sse.comment() != null && sse.comment().contains("heartbeat"))
+                .then(() -> created.set(taskService.createTask(newTask("stream-user")).block()))
+                .expectNextMatches(sse -> "CREATED".equals(sse.event())
+                    && sse.data().getTask().getTitle().equals("Streamed task"))
+                .then(() -> taskService.updateTaskStatus("stream-user", created.get().getId(),
+                        Task.TaskStatus.COMPLETED).block())
+                .expectNextMatches(sse -> "STATUS_CHANGED".equals(sse.event())
+                    && sse.data().getTaskId().equals(created.get().getId())
+                    && sse.data().getStatus() == Task.TaskStatus.COMPLETED)
+                .then(() -> taskService.deleteTask("stream-user", created.get().getId()).block())
+                .expectNextMatches(sse -> "DELETED".equals(sse.event())
+                    && sse.data().getTaskId().equals(created.get().getId()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void streamUserTaskEvents_ConflatesBehindSlowConsumer() {
+        TaskEventPublisher publisher = new TaskEventPublisher(16);
+        TaskController controller = new TaskController(new TaskService(publisher));
+
+        Flux<ServerSentEvent<TaskEvent>> events = controller.streamUserTaskEvents("user1")
+                .filter(sse -> sse.data() != null);
+
+        StepVerifier.create(events, 0)
+                .then(() -> {
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.PENDING, 1));
+                    publisher.publish(statusChanged("user1", 2L, Task.TaskStatus.PENDING, 2));
+                    publisher.publish(statusChanged("user1", 2L, Task.TaskStatus.IN_PROGRESS, 3));
+                    publisher.publish(statusChanged("user1", 2L, Task.TaskStatus.COMPLETED, 4));
+                })
+                .thenRequest(10)
+                .expectNextMatches(sse -> sse.data().getTaskId() == 1L)
+                .expectNextMatches(sse -> sse.data().getTaskId() == 2L
+                    && sse.data().getStatus() == Task.TaskStatus.COMPLETED)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void getUserTasks_IncludesCreatedTasks() {
+        Task task = taskService.createTask(newTask("list-user")).block();
+
+        webTestClient.get()
+                .uri("/api/tasks/{userId}", "list-user")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Task.class)
+                .value(tasks -> assertTrue(tasks.stream()
+                        .anyMatch(listed -> listed.getId().equals(task.getId())
+                            && listed.getTitle().equals("Streamed task"))));
+    }
+
+    @Test
+    void updateTaskStatus_RejectsTasksNotCreatedByUser() {
+        Task task = taskService.createTask(newTask("owner")).block();
+
+        webTestClient.patch()
+                .uri("/api/tasks/{userId}/{taskId}/status?status=COMPLETED", "owner", 5)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.patch()
+                .uri("/api/tasks/{userId}/{taskId}/status?status=COMPLETED", "intruder", task.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.delete()
+                .uri("/api/tasks/{userId}/{taskId}", "intruder", task.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.patch()
+                .uri("/api/tasks/{userId}/{taskId}/status?status=COMPLETED", "owner", task.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Task.class)
+                .value(updated -> assertEquals(Task.TaskStatus.COMPLETED, updated.getStatus()));
+    }
+
+    private Task newTask(String userId) {
+        Task task = new Task();
+        task.setUserId(userId);
+        task.setTitle("Streamed task");
+        return task;
+    }
+
+    private TaskEvent statusChanged(String userId, Long taskId, Task.TaskStatus status, long version) {
+        Task task = newTask(userId).withStatus(status);
+        task.setId(taskId);
+        return new TaskEvent(TaskEvent.EventType.STATUS_CHANGED, taskId, userId, status, task,
+                LocalDateTime.now(), version);
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.taskqueue.serviceb;
+
+import com.taskqueue.serviceb.model.Task;
+import com.taskqueue.serviceb.model.TaskEvent;
+import com.taskqueue.serviceb.service.TaskEventPublisher;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventPublisherTest {
+
+    @Test
+    void subscribe_ConflatesPendingEventsPerTask() {
+        TaskEventPublisher publisher = new TaskEventPublisher(16);
+
+        StepVerifier.create(publisher.subscribe("user1"), 0)
+                .then(() -> {
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.PENDING, 1));
+                    publisher.publish(statusChanged("user1", 2L, Task.TaskStatus.PENDING, 2));
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.IN_PROGRESS, 3));
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.COMPLETED, 4));
+                    publisher.publish(statusChanged("user2", 1L, Task.TaskStatus.CANCELLED, 5));
+                })
+                .thenRequest(10)
+                .expectNextMatches(event ->
+                    event.getTaskId() == 1L && event.getStatus() == Task.TaskStatus.COMPLETED)
+                .expectNextMatches(event ->
+                    event.getTaskId() == 2L && event.getStatus() == Task.TaskStatus.PENDING)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+
+        assertEquals(0, publisher.getSubscriberCount("user1"));
+    }
+
+    @Test
+    void subscribe_MergesStatusChangeIntoPendingCreate() {
+        TaskEventPublisher publisher = new TaskEventPublisher(16);
+
+        StepVerifier.create(publisher.subscribe("user1"), 0)
+                .then(() -> {
+                    publisher.publish(created("user1", 1L, "Write report", 1));
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.IN_PROGRESS, 2));
+                })
+                .thenRequest(10)
+                .expectNextMatches(event ->
+                    event.getType() == TaskEvent.EventType.CREATED
+                        && event.getStatus() == Task.TaskStatus.IN_PROGRESS
+                        && event.getTask().getStatus() == Task.TaskStatus.IN_PROGRESS
+                        && event.getTask().getTitle().equals("Write report"))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void subscribe_IgnoresEventsOlderThanPending() {
+        TaskEventPublisher publisher = new TaskEventPublisher(16);
+
+        StepVerifier.create(publisher.subscribe("user1"), 0)
+                .then(() -> {
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.COMPLETED, 3));
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.IN_PROGRESS, 2));
+                })
+                .thenRequest(10)
+                .expectNextMatches(event ->
+                    event.getStatus() == Task.TaskStatus.COMPLETED && event.getVersion() == 3)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void subscribe_DropsTaskCreatedAndDeletedWhilePending() {
+        TaskEventPublisher publisher = new TaskEventPublisher(16);
+
+        StepVerifier.create(publisher.subscribe("user1"), 0)
+                .then(() -> {
+                    publisher.publish(created("user1", 1L, "Short lived", 1));
+                    publisher.publish(created("user1", 2L, "Kept", 2));
+                    publisher.publish(new TaskEvent(TaskEvent.EventType.DELETED, 1L, "user1", null, null,
+                            LocalDateTime.now(), 3));
+                })
+                .thenRequest(10)
+                .expectNextMatches(event -> event.getTaskId() == 2L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void subscribe_SendsResyncOnOverflow() throws InterruptedException {
+        TaskEventPublisher publisher = new TaskEventPublisher(2);
+
+        StepVerifier.create(publisher.subscribe("user1"), 0)
+                .then(() -> {
+                    publisher.publish(statusChanged("user1", 1L, Task.TaskStatus.PENDING, 1));
+                    publisher.publish(statusChanged("user1", 2L, Task.TaskStatus.PENDING, 2));
+                    publisher.publish(statusChanged("user1", 3L, Task.TaskStatus.PENDING, 3));
+                })
+                .thenRequest(10)
+                .expectNextMatches(event ->
+                    event.getType() == TaskEvent.EventType.RESYNC && event.getUserId().equals("user1"))
+                .verifyComplete();
+
+        // The subscriber is released right after completion, possibly on the delivering thread
+        long deadline = System.currentTimeMillis() + 1000;
+        while (publisher.getSubscriberCount("user1") > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, publisher.getSubscriberCount("user1"));
+    }
+
+    private TaskEvent created(String userId, Long taskId, String title, long version) {
+        Task task = task(userId, taskId, title, Task.TaskStatus.PENDING);
+        return new TaskEvent(TaskEvent.EventType.CREATED, taskId, userId, task.getStatus(), task,
+                LocalDateTime.now(), version);
+    }
+
+    private TaskEvent statusChanged(String userId, Long taskId, Task.TaskStatus status, long version) {
+        return new TaskEvent(TaskEvent.EventType.STATUS_CHANGED, taskId, userId, status,
+                task(userId, taskId, "Write report", status), LocalDateTime.now(), version);
+    }
+
+    private Task task(String userId, Long taskId, String title, Task.TaskStatus status) {
+        Task task = new Task();
+        task.setId(taskId);
+        task.setUserId(userId);
+        task.setTitle(title);
+        task.setStatus(status);
+        return task;
+    }
+
+}